@@ -42,6 +42,134 @@ public final class Benchmarks {
         //RETURN RESULTS
         return new Result(t1 - t0, t2 - t1, t3 - t2, packer.compressedBitLength());
     }
+
+    /** Same protocol as {@link #run(BitPacker, int[], int, long)}, for 64-bit values. */
+    public static Result run(LongBitPacker packer, long[] data, int probes, long seed) {
+        // Warm up JIT
+        for (int i = 0; i < 3; i++) cycle(packer, data, probes, seed);
+        // Measured
+        return cycle(packer, data, probes, seed + 1);
+    }
+
+    /**
+     * One complete benchmark cycle for 64-bit values: compress → read → decompress
+     */
+    private static Result cycle(LongBitPacker packer, long[] data, int probes, long seed) {
+        Random rnd = new Random(seed);
+        //COMPRESSION MEASUREMENT
+        long t0 = System.nanoTime();
+        packer.compress(data);
+        long t1 = System.nanoTime();
+        //RANDOM READ MEASUREMENT (tests direct access)
+        long s = 0;  // Dummy variable to prevent optimization
+        for (int i = 0; i < probes; i++) s ^= packer.get(rnd.nextInt(data.length));// Random XOR
+        long t2 = System.nanoTime();
+        //DECOMPRESSION MEASUREMENT
+        long[] out = new long[data.length];
+        packer.decompress(out);
+        long t3 = System.nanoTime();
+        //VERIFICATION: decompression should return original data
+        if (!Arrays.equals(out, data)) throw new AssertionError("decompress mismatch: " + s);
+        //RETURN RESULTS
+        return new Result(t1 - t0, t2 - t1, t3 - t2, packer.compressedBitLength());
+    }
+
+    /**
+     * Same protocol for a whole batch in one shared arena.
+     * @param probes number of random get(arrayId, index) probes
+     */
+    public static Result run(BitPackingBatch batch, int[][] arrays, int probes, long seed) {
+        // Warm up JIT
+        for (int i = 0; i < 3; i++) cycle(batch, arrays, probes, seed);
+        // Measured
+        return cycle(batch, arrays, probes, seed + 1);
+    }
+
+    /**
+     * One complete benchmark cycle for a batch: compress → read → decompress
+     */
+    private static Result cycle(BitPackingBatch batch, int[][] arrays, int probes, long seed) {
+        Random rnd = new Random(seed);
+        //COMPRESSION MEASUREMENT
+        long t0 = System.nanoTime();
+        batch.compress(arrays);
+        long t1 = System.nanoTime();
+        //RANDOM READ MEASUREMENT (random array, random index; empty arrays are skipped)
+        int s = 0;  // Dummy variable to prevent optimization
+        for (int i = 0; i < probes && arrays.length > 0; i++) {
+            int id = rnd.nextInt(arrays.length);
+            if (arrays[id].length > 0) s ^= batch.get(id, rnd.nextInt(arrays[id].length));
+        }
+        long t2 = System.nanoTime();
+        //DECOMPRESSION MEASUREMENT (one scratch buffer reused for every array)
+        int[][] out = new int[arrays.length][];
+        int[] scratch = new int[maxLength(arrays)];
+        for (int id = 0; id < arrays.length; id++) {
+            batch.decompress(id, scratch);
+            out[id] = Arrays.copyOf(scratch, arrays[id].length);
+        }
+        long t3 = System.nanoTime();
+        //VERIFICATION: decompression should return original data
+        if (!Arrays.deepEquals(out, arrays)) throw new AssertionError("decompress mismatch: " + s);
+        //RETURN RESULTS
+        return new Result(t1 - t0, t2 - t1, t3 - t2, batch.compressedBitLength());
+    }
+
+    /**
+     * Baseline for {@link #run(BitPackingBatch, int[][], int, long)}: one packer per array,
+     * created through {@link BitPackerFactory} as a caller without the batch API would.
+     */
+    public static Result runPerArray(CompressionMode mode, int[][] arrays, int probes, long seed) {
+        // Warm up JIT
+        for (int i = 0; i < 3; i++) cyclePerArray(mode, arrays, probes, seed);
+        // Measured
+        return cyclePerArray(mode, arrays, probes, seed + 1);
+    }
+
+    private static Result cyclePerArray(CompressionMode mode, int[][] arrays, int probes, long seed) {
+        Random rnd = new Random(seed);
+        //COMPRESSION MEASUREMENT (includes creating each packer)
+        long t0 = System.nanoTime();
+        BitPacker[] packers = new BitPacker[arrays.length];
+        for (int id = 0; id < arrays.length; id++) {
+            packers[id] = BitPackerFactory.create(mode, arrays[id].length, bitsOf(arrays[id]));
+            packers[id].compress(arrays[id]);
+        }
+        long t1 = System.nanoTime();
+        //RANDOM READ MEASUREMENT (same probe sequence as the batch)
+        int s = 0;  // Dummy variable to prevent optimization
+        for (int i = 0; i < probes && arrays.length > 0; i++) {
+            int id = rnd.nextInt(arrays.length);
+            if (arrays[id].length > 0) s ^= packers[id].get(rnd.nextInt(arrays[id].length));
+        }
+        long t2 = System.nanoTime();
+        //DECOMPRESSION MEASUREMENT
+        int[][] out = new int[arrays.length][];
+        for (int id = 0; id < arrays.length; id++) {
+            out[id] = new int[arrays[id].length];
+            packers[id].decompress(out[id]);
+        }
+        long t3 = System.nanoTime();
+        //VERIFICATION: decompression should return original data
+        if (!Arrays.deepEquals(out, arrays)) throw new AssertionError("decompress mismatch: " + s);
+        //RETURN RESULTS
+        long bits = 0;
+        for (BitPacker p : packers) bits += p.compressedBitLength();
+        return new Result(t1 - t0, t2 - t1, t3 - t2, bits);
+    }
+
+    private static int maxLength(int[][] arrays) {
+        int max = 0;
+        for (int[] a : arrays) max = Math.max(max, a.length);
+        return max;
+    }
+
+    private static int bitsOf(int[] values) {
+        int max = 0;
+        for (int v : values) max = Math.max(max, v);
+        return BitUtils.bitsRequiredNonNegative(max);
+    }
+
       /**
      * Calculates total time WITHOUT compression
      */
@@ -7,6 +7,7 @@ public final class BitPackerFactory {
         return switch (mode) {
             case NO_CROSSING -> new BitPackingNoCrossing(n, k);
             case CROSSING -> new BitPackingCrossing(n, k);
+            case CROSSING_64 -> new BitPackingCrossing64(n, k);
             case OVERFLOW_NO_CROSSING -> new BitPackingOverflowNoCrossing(n, k);
             case OVERFLOW_CROSSING -> new BitPackingOverflowCrossing(n, k);
         };
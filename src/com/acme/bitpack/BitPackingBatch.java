@@ -0,0 +1,130 @@
+package com.acme.bitpack;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static com.acme.bitpack.BitUtils.*;
+
+/**
+ * Compresse un lot de petits tableaux dans une seule arène contiguë.
+ *
+ * Chaque tableau est packé avec chevauchement (comme {@link BitPackingCrossing}) et commence
+ * sur un mot de 32 bits, ce qui permet de compresser les tableaux en parallèle sans conflit.
+ * Le répertoire est compact : un offset (en mots), une taille et une largeur k par tableau,
+ * au lieu d'un objet {@link BitPacker} et de ses tableaux pour chaque entrée.
+ */
+public final class BitPackingBatch {
+    private static final int PARALLEL_THRESHOLD = 1024; // en dessous, le parallélisme coûte plus qu'il ne rapporte
+
+    private int count;       // nombre de tableaux dans le lot
+    private int[] offsets;   // offsets[i] = premier mot du tableau i, offsets[count] = taille utile de l'arène
+    private int[] lengths;   // nombre de valeurs du tableau i
+    private byte[] widths;   // bits par valeur du tableau i
+    private int[] arena;     // buffer compressé partagé, réutilisé d'un lot à l'autre
+
+    public BitPackingBatch() {
+        this.offsets = new int[1];
+        this.lengths = new int[0];
+        this.widths = new byte[0];
+        this.arena = new int[0];
+    }
+
+    public int arrayCount() { return count; }
+    public int size(int arrayId) { checkArray(arrayId); return lengths[arrayId]; }
+    public int bitsPerValue(int arrayId) { checkArray(arrayId); return widths[arrayId]; }
+    public int[] compressed() { return Arrays.copyOf(arena, offsets[count]); }
+
+    /** Taille totale en bits : arène + répertoire (offset, taille, largeur). */
+    public long compressedBitLength() {
+        return (long) offsets[count] * 32L + (long) count * (32L + 32L + 8L) + 32L;
+    }
+
+    /**
+     * Compresse le lot. Les buffers internes sont conservés et réutilisés
+     * tant qu'ils sont assez grands pour le lot suivant.
+     */
+    public void compress(int[][] inputs) {
+        if (inputs == null) throw new IllegalArgumentException("inputs is null");
+        int c = inputs.length;
+        count = 0; // lot invalide tant que la compression n'est pas terminée
+        ensureDirectory(c);
+
+        // 1. Largeur et taille de chaque tableau (indépendant → parallèle)
+        range(c).forEach(i -> {
+            int[] input = inputs[i];
+            if (input == null) throw new IllegalArgumentException("input " + i + " is null");
+            int max = 0;
+            for (int v : input) {
+                if (v < 0) throw new IllegalArgumentException("Negative values not supported");
+                max = Math.max(max, v);
+            }
+            lengths[i] = input.length;
+            widths[i] = (byte) bitsRequiredNonNegative(max);
+        });
+
+        // 2. Somme préfixe des offsets (séquentielle, O(count))
+        long words = 0;
+        for (int i = 0; i < c; i++) {
+            offsets[i] = (int) words;
+            words += ((long) lengths[i] * widths[i] + 31) >>> 5;
+            if (words > Integer.MAX_VALUE) throw new IllegalArgumentException("Batch too large for a single arena");
+        }
+        offsets[c] = (int) words;
+
+        if (arena.length < words) arena = new int[(int) words];
+        else Arrays.fill(arena, 0, (int) words, 0);
+
+        // 3. Écriture : chaque tableau a sa propre plage de mots, pas de course
+        range(c).forEach(i -> pack(inputs[i], offsets[i], widths[i]));
+        count = c;
+    }
+
+    public int get(int arrayId, int index) {
+        checkArray(arrayId);
+        if (index < 0 || index >= lengths[arrayId]) throw new IndexOutOfBoundsException();
+        int k = widths[arrayId];
+        return readBits(arena, offsets[arrayId], (long) index * k, k);
+    }
+
+    /** Décompresse le tableau {@code arrayId} dans {@code out} (qui peut être plus grand). */
+    public void decompress(int arrayId, int[] out) {
+        checkArray(arrayId);
+        int len = lengths[arrayId];
+        if (out == null || out.length < len) throw new IllegalArgumentException("out length must be at least " + len);
+        int k = widths[arrayId];
+        int w = offsets[arrayId];
+        long p = 0;
+        for (int i = 0; i < len; i++, p += k) out[i] = readBits(arena, w, p, k);
+    }
+
+    public int[] decompress(int arrayId) {
+        int[] out = new int[size(arrayId)];
+        decompress(arrayId, out);
+        return out;
+    }
+
+    private void pack(int[] input, int wordStart, int k) {
+        long p = 0;
+        for (int v : input) {
+            writeBits(arena, wordStart, p, v, k);
+            p += k;
+        }
+    }
+
+    private void ensureDirectory(int c) {
+        if (lengths.length < c) {
+            lengths = new int[c];
+            widths = new byte[c];
+            offsets = new int[c + 1];
+        }
+    }
+
+    private static IntStream range(int c) {
+        IntStream s = IntStream.range(0, c);
+        return c >= PARALLEL_THRESHOLD ? s.parallel() : s;
+    }
+
+    private void checkArray(int arrayId) {
+        if (arrayId < 0 || arrayId >= count) throw new IndexOutOfBoundsException("arrayId " + arrayId);
+    }
+}
@@ -24,14 +24,8 @@ public final class BitPackingCrossing extends AbstractBitPacker {
         int words = ceilDiv((int) (totalBits & 0x7FFFFFFF), 32);
         data = new int[words];
         long p = 0;
-        int msk = mask(k);
         for (int v : input) {
-            int vv = v & msk;
-            int w = (int) (p >>> 5);
-            int off = (int) (p & 31);
-            data[w] |= vv << off;
-            int spill = off + k - 32;
-            if (spill > 0) data[w + 1] |= vv >>> (k - spill);
+            writeBits(data, 0, p, v, k);
             p += k;
         }
     }
@@ -43,13 +37,6 @@ public final class BitPackingCrossing extends AbstractBitPacker {
 
     @Override public int get(int index) {
         if (index < 0 || index >= n) throw new IndexOutOfBoundsException();
-        long bitIndex = (long) index * k;
-        int w = (int) (bitIndex >>> 5);
-        int off = (int) (bitIndex & 31);
-        int low = data[w] >>> off;
-        int bitsInLow = 32 - off;
-        if (k <= bitsInLow) return low & mask(k);
-        int hi = data[w + 1] & mask(k - bitsInLow);
-        return (low | (hi << bitsInLow)) & mask(k);
+        return readBits(data, 0, (long) index * k, k);
     }
 }
\ No newline at end of file
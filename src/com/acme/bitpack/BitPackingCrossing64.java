@@ -0,0 +1,61 @@
+package com.acme.bitpack;
+
+import static com.acme.bitpack.BitUtils.*;
+
+/**
+ * Même format logique que {@link BitPackingCrossing}, mais stocké dans des mots de 64 bits :
+ * pour k <= 32 une valeur chevauche beaucoup moins souvent deux mots.
+ */
+public final class BitPackingCrossing64 implements BitPacker {
+    private int n;
+    private int k;
+    private long[] data;
+
+    public BitPackingCrossing64(int n, int k) {
+        this.n = n;
+        this.k = k;
+    }
+
+    @Override public int size() { return n; }
+    @Override public int bitsPerValue() { return k; }
+    @Override public long compressedBitLength() { return (long) (data == null ? 0 : data.length) * 64L; }
+    @Override public boolean crossesBoundaries() { return true; }
+
+    /** Mots de 64 bits découpés en entiers 32 bits (poids faible d'abord). */
+    @Override public int[] compressed() {
+        if (data == null) return null;
+        int[] out = new int[data.length * 2];
+        for (int i = 0; i < data.length; i++) {
+            out[2 * i] = (int) data[i];
+            out[2 * i + 1] = (int) (data[i] >>> 32);
+        }
+        return out;
+    }
+
+    @Override public void compress(int[] input) {
+        if (input == null) throw new IllegalArgumentException("input is null");
+        n = input.length;
+        int max = 0;
+        for (int v : input) {
+            if (v < 0) throw new IllegalArgumentException("Negative values not supported");
+            max = Math.max(max, v);
+        }
+        k = bitsRequiredNonNegative(max);
+        data = new long[(int) (((long) n * k + 63) >>> 6)];
+        long p = 0;
+        for (int v : input) {
+            writeBits64(data, p, v, k);
+            p += k;
+        }
+    }
+
+    @Override public void decompress(int[] out) {
+        if (out == null || out.length != n) throw new IllegalArgumentException("out length must be " + n);
+        for (int i = 0; i < n; i++) out[i] = get(i);
+    }
+
+    @Override public int get(int index) {
+        if (index < 0 || index >= n) throw new IndexOutOfBoundsException();
+        return (int) readBits64(data, (long) index * k, k);
+    }
+}
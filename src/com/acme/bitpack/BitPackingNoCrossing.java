@@ -1,7 +1,5 @@
 package com.acme.bitpack;
 
-import java.util.Arrays;
-
 /** Bit Packing SANS chevauchement entre les mots (entiers 32 bits) */
 public class BitPackingNoCrossing extends AbstractBitPacker {
     private int[] values;  // Stocke les valeurs originales (pour get() facile)
@@ -21,8 +19,8 @@ public class BitPackingNoCrossing extends AbstractBitPacker {
         if (data.length != n) throw new IllegalArgumentException("Data length mismatch");
         // 1. Sauvegarde les valeurs originales
         System.arraycopy(data, 0, values, 0, n);
-         // 2. Reset le tableau de sortie
-        Arrays.fill(this.data, 0);
+         // 2. Alloue le tableau de sortie
+        this.data = new int[BitUtils.ceilDiv(n, 32 / k)];
         // 3. Calcule combien de valeurs tiennent dans 1 entier (32 bits)
         int bitsPerInt = 32;
         int valuesPerInt = bitsPerInt / k; // Ex: si k=12 → 32/12=2 valeurs par entier
@@ -25,9 +25,14 @@ public class BitPackingOverflowCrossing extends AbstractBitPacker {
     public void compress(int[] data) {
         if (data.length != n) throw new IllegalArgumentException("Data length mismatch");
         System.arraycopy(data, 0, values, 0, n);
-        Arrays.fill(this.data, 0);
         Arrays.fill(overflow, 0);
         overflowCount = 0;
+        // baseBits doit pouvoir indexer toute la zone overflow, sinon on élargit le slot
+        baseBits = BitUtils.overflowBaseBits(data, baseBits);
+        k = baseBits + 1;
+        int overflowValues = 0;
+        for (int v : data) if (v >= (1L << baseBits)) overflowValues++;
+        this.data = new int[(int) (((long) (n + overflowValues) * k + 31) >>> 5)];
 
         int baseMask = BitUtils.mask(baseBits);
         int mask = BitUtils.mask(k);
@@ -39,7 +44,7 @@ public class BitPackingOverflowCrossing extends AbstractBitPacker {
             int bitOffset = bitIndex % 32;
             int remainingBits = 32 - bitOffset;
 
-            if (value < (1 << baseBits)) {
+            if (value < (1L << baseBits)) {
                 // fits in base bits, store directly with flag 0
                 int encoded = value & baseMask;
                 if (remainingBits >= k) {
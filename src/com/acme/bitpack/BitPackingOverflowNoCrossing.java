@@ -25,18 +25,25 @@ public class BitPackingOverflowNoCrossing extends AbstractBitPacker {
     public void compress(int[] data) {
         if (data.length != n) throw new IllegalArgumentException("Data length mismatch");
         System.arraycopy(data, 0, values, 0, n);
-        Arrays.fill(this.data, 0);
         Arrays.fill(overflow, 0);
         overflowCount = 0;
+        // baseBits doit pouvoir indexer toute la zone overflow, sinon on élargit le slot
+        baseBits = BitUtils.overflowBaseBits(data, baseBits);
+        k = baseBits + 1;
 
         int baseMask = BitUtils.mask(baseBits);
         int bitsPerInt = 32;
         int valuesPerInt = bitsPerInt / k;
         int mask = BitUtils.mask(k);
+        int headerWords = BitUtils.ceilDiv(n, valuesPerInt);
+        int overflowWords = 0;
+        for (int v : data) if (v >= (1L << baseBits)) overflowWords++;
+        overflowWords = (int) (((long) overflowWords * k + 31) >>> 5);
+        this.data = new int[headerWords + overflowWords];
 
         for (int i = 0; i < n; i++) {
             int value = data[i];
-            if (value < (1 << baseBits)) {
+            if (value < (1L << baseBits)) {
                 // fits in base bits, store directly with flag 0
                 int wordIndex = i / valuesPerInt;
                 int bitOffset = (i % valuesPerInt) * k;
@@ -52,10 +59,10 @@ public class BitPackingOverflowNoCrossing extends AbstractBitPacker {
         }
 
         // append overflow area
-        int overflowStartIndex = BitUtils.ceilDiv(n * k, 32);
+        int overflowStartIndex = headerWords;
         for (int i = 0; i < overflowCount; i++) {
-            int wordIndex = overflowStartIndex + (i * k / 32);
-            int bitOffset = (i * k) % 32;
+            int wordIndex = overflowStartIndex + (int) ((long) i * k / 32);
+            int bitOffset = (int) (((long) i * k) % 32);
             int value = overflow[i] & mask;
             if (wordIndex >= this.data.length) {
                 int[] newData = new int[wordIndex + 1];
@@ -14,6 +14,66 @@ final class BitUtils {
         return bits >= 32 ? -1 : (1 << bits) - 1;
     }
 
+    /**
+     * Écrit {@code width} bits de {@code value} à {@code bitPos} dans des mots de 32 bits,
+     * en comptant à partir du mot {@code wordStart} (peut chevaucher 2 mots).
+     */
+    static void writeBits(int[] words, int wordStart, long bitPos, int value, int width) {
+        value &= mask(width);
+        int w = wordStart + (int) (bitPos >>> 5), off = (int) (bitPos & 31);
+        words[w] |= value << off;
+        int spill = off + width - 32;
+        if (spill > 0) words[w + 1] |= value >>> (width - spill);
+    }
+
+    /** Lit {@code width} bits à {@code bitPos} à partir du mot {@code wordStart} (recombine 2 mots si besoin). */
+    static int readBits(int[] words, int wordStart, long bitPos, int width) {
+        int w = wordStart + (int) (bitPos >>> 5), off = (int) (bitPos & 31);
+        int v = words[w] >>> off;
+        if (off + width > 32) v |= words[w + 1] << (32 - off);
+        return v & mask(width);
+    }
+
+    static int bitsRequiredUnsigned(long max) {
+        if (max == 0) return 1;
+        return 64 - Long.numberOfLeadingZeros(max);
+    }
+
+    static long mask64(int bits) {
+        return bits >= 64 ? -1L : (1L << bits) - 1;
+    }
+
+    /** Écrit {@code width} bits de {@code value} à {@code bitPos} dans des mots de 64 bits (peut chevaucher 2 mots). */
+    static void writeBits64(long[] words, long bitPos, long value, int width) {
+        int w = (int) (bitPos >>> 6), off = (int) (bitPos & 63);
+        words[w] |= value << off;
+        int spill = off + width - 64;
+        if (spill > 0) words[w + 1] |= value >>> (width - spill);
+    }
+
+    /** Lit {@code width} bits à {@code bitPos} : un seul décalage, ou deux mots recombinés en une lecture non alignée. */
+    static long readBits64(long[] words, long bitPos, int width) {
+        int w = (int) (bitPos >>> 6), off = (int) (bitPos & 63);
+        long v = words[w] >>> off;
+        if (off + width > 64) v |= words[w + 1] << (64 - off);
+        return v & mask64(width);
+    }
+
+    /**
+     * Largeur de la partie "petite valeur" d'un slot overflow (1 bit drapeau + baseBits).
+     * Part de {@code baseBits} et l'élargit tant que baseBits ne suffit pas à indexer
+     * toutes les valeurs envoyées dans la zone overflow.
+     */
+    static int overflowBaseBits(int[] values, int baseBits) {
+        while (true) {
+            int count = 0;
+            for (int v : values) if (v >= (1L << baseBits)) count++;
+            int idxBits = ceilLog2(count);
+            if (idxBits <= baseBits) return baseBits;
+            baseBits = idxBits;
+        }
+    }
+
     static int ceilLog2(int x) {
         if (x <= 1) return 0;
         return 32 - Integer.numberOfLeadingZeros(x - 1);
@@ -4,5 +4,6 @@ public enum CompressionMode {
     NO_CROSSING,
     CROSSING,
     OVERFLOW_NO_CROSSING,
-    OVERFLOW_CROSSING
+    OVERFLOW_CROSSING,
+    CROSSING_64
 }
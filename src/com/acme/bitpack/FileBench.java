@@ -0,0 +1,320 @@
+package com.acme.bitpack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Companion tool to {@link Main}: compresses real data files with every mode
+ * and reports throughput and compression ratio.
+ *
+ * Files go through read → benchmark → write one at a time, and each file is released
+ * before the next one is benchmarked. Only I/O overlaps: the next file is read while
+ * the previous one is written. The codecs are timed while nothing else runs, so the
+ * reported MB/s do not depend on the other files. The codecs need the whole file as
+ * an int[], so at most two files are in memory at once.
+ *
+ * Usage: java com.acme.bitpack.Main files <INT32|TEXT> <outDir> <file>...
+ */
+public final class FileBench {
+    private static final long WINDOW = 64L << 20; // size of each mmap window (bytes)
+    private static final int MAGIC = 0x314B5042;  // "BPK1" in little-endian
+
+    private FileBench() {}
+
+    public enum Format { INT32, TEXT }
+
+    /** Outcome of one mode on one file; {@code error} is non-null if the mode failed. */
+    public record ModeResult(CompressionMode mode, Benchmarks.Result result, int k, String error) {}
+
+    /** Outcome of one file; {@code error} is non-null if the file could not be read or processed. */
+    public record FileResult(Path file, int n, long bytes, long readNs, List<ModeResult> modes, String error) {}
+
+    /** Decoded contents of a {@code .bp} file. */
+    public record Packed(CompressionMode mode, int n, int k, int[] words) {}
+
+    private record Input(Path file, int[] data, long bytes, long readNs) {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: Main files <format> <outDir> <file>...\n"
+                    + "  format: INT32 (raw little-endian int32) | TEXT (one integer per line)\n"
+                    + "  outDir: directory receiving <file>.<mode>.bp (<file>.<argIndex>.<mode>.bp\n"
+                    + "          when two inputs share a file name)\n"
+                    + "  file: one or more input files, benchmarked one at a time\n");
+            System.exit(2);
+        }
+        Format format = Format.valueOf(args[0].toUpperCase(Locale.ROOT));
+        Path outDir = Paths.get(args[1]);
+        Files.createDirectories(outDir);
+        List<Path> files = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) files.add(Paths.get(args[i]));
+        List<String> prefixes = outputPrefixes(files);
+
+        System.out.println("Timings: one file at a time, nothing else running during the benchmark");
+        // Two threads: reading the next file and writing the previous one
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Input> nextRead = pool.submit(() -> read(files.get(0), format));
+            for (int i = 0; i < files.size(); i++) {
+                // 1. READ (started while the previous file was being written)
+                Input in = null;
+                FileResult result = null;
+                try {
+                    in = nextRead.get();
+                } catch (ExecutionException e) {
+                    result = failed(files.get(i), e);
+                }
+
+                // 2. BENCHMARK alone
+                List<ModeResult> modes = new ArrayList<>();
+                List<BitPacker> packers = new ArrayList<>();
+                if (in != null) benchmark(in.data(), modes, packers);
+
+                // 3. WRITE this file while the next one is read
+                Future<FileResult> write = null;
+                if (in != null) {
+                    Input current = in;
+                    String prefix = prefixes.get(i);
+                    write = pool.submit(() -> writeAll(current, outDir, prefix, modes, packers));
+                }
+                if (i + 1 < files.size()) {
+                    Path next = files.get(i + 1);
+                    nextRead = pool.submit(() -> read(next, format));
+                }
+                if (write != null) {
+                    try {
+                        result = write.get();
+                    } catch (ExecutionException e) {
+                        result = failed(files.get(i), e);
+                    }
+                }
+                // PRINT and release this file before benchmarking the next one
+                print(result);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Output name prefix per input: the file name, plus the argument index when two inputs share it. */
+    static List<String> outputPrefixes(List<Path> files) {
+        Map<String, Integer> seen = new HashMap<>();
+        for (Path f : files) seen.merge(String.valueOf(f.getFileName()), 1, Integer::sum);
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            String name = String.valueOf(files.get(i).getFileName());
+            prefixes.add(seen.get(name) > 1 ? name + "." + (i + 1) : name);
+        }
+        return prefixes;
+    }
+
+    private static FileResult failed(Path file, ExecutionException e) {
+        return new FileResult(file, 0, 0, 0, List.of(), e.getCause().toString());
+    }
+
+    private static void print(FileResult fr) {
+        if (fr.error() != null) {
+            System.out.printf(Locale.ROOT, "File=%s FAILED: %s%n", fr.file(), fr.error());
+            return;
+        }
+        double rawMB = fr.n() * 4.0 / 1e6;
+        System.out.printf(Locale.ROOT, "File=%s, n=%d, read=%.1f MB/s%n",
+                fr.file(), fr.n(), fr.bytes() / 1e6 / (fr.readNs() / 1e9));
+        for (ModeResult mr : fr.modes()) {
+            if (mr.error() != null) {
+                System.out.printf(Locale.ROOT, "  %-20s FAILED: %s%n", mr.mode(), mr.error());
+                continue;
+            }
+            Benchmarks.Result r = mr.result();
+            System.out.printf(Locale.ROOT,
+                    "  %-20s k=%2d ratio=%.2fx compress=%.1f MB/s decompress=%.1f MB/s%n",
+                    mr.mode(), mr.k(), 32.0 * fr.n() / r.compressedBits(),
+                    rawMB / (r.compressNs() / 1e9), rawMB / (r.decompressNs() / 1e9));
+        }
+    }
+
+    private static Input read(Path file, Format format) throws IOException {
+        long t0 = System.nanoTime();
+        int[] data = format == Format.INT32 ? readInt32(file) : readText(file);
+        long readNs = System.nanoTime() - t0;
+        return new Input(file, data, Files.size(file), readNs);
+    }
+
+    /** Runs every mode on {@code data}; {@code packers} holds the packer of each successful mode, null otherwise. */
+    private static void benchmark(int[] data, List<ModeResult> modes, List<BitPacker> packers) {
+        if (data.length == 0) return;
+        int max = 0;
+        for (int v : data) max = Math.max(max, v);
+        int k = BitUtils.bitsRequiredNonNegative(max);
+
+        for (CompressionMode mode : CompressionMode.values()) {
+            try {
+                BitPacker packer = BitPackerFactory.create(mode, data.length, k);
+                var res = Benchmarks.run(packer, data, Math.min(1_000_000, Math.max(10, data.length)), 42L);
+                modes.add(new ModeResult(mode, res, packer.bitsPerValue(), null));
+                packers.add(packer);
+            } catch (RuntimeException | AssertionError e) {
+                modes.add(new ModeResult(mode, null, k, e.toString()));
+                packers.add(null);
+            }
+        }
+    }
+
+    /** Writes each packed output and, where the layout allows it, checks that reading it back gives the input. */
+    private static FileResult writeAll(Input in, Path outDir, String prefix, List<ModeResult> modes,
+            List<BitPacker> packers) throws IOException {
+        List<ModeResult> out = new ArrayList<>();
+        for (int i = 0; i < modes.size(); i++) {
+            ModeResult mr = modes.get(i);
+            BitPacker packer = packers.get(i);
+            if (packer == null) { out.add(mr); continue; }
+            Path target = outDir.resolve(prefix + "." + mr.mode().name().toLowerCase(Locale.ROOT) + ".bp");
+            write(target, mr.mode(), packer);
+            if (isSelfDescribing(mr.mode()) && !Arrays.equals(decode(readPacked(target)), in.data())) {
+                mr = new ModeResult(mr.mode(), null, mr.k(), "read-back mismatch in " + target);
+            }
+            out.add(mr);
+        }
+        return new FileResult(in.file(), in.data().length, in.bytes(), in.readNs(), out, null);
+    }
+
+    /** Raw little-endian int32, mapped window by window. */
+    static int[] readInt32(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if ((size & 3) != 0) throw new IllegalArgumentException(file + ": size is not a multiple of 4");
+            if (size / 4 > Integer.MAX_VALUE - 8) throw new IllegalArgumentException(file + ": too many values");
+            int[] out = new int[(int) (size / 4)];
+            int pos = 0;
+            for (long start = 0; start < size; start += WINDOW) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, size - start));
+                IntBuffer ints = buf.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                int len = ints.remaining();
+                ints.get(out, pos, len);
+                pos += len;
+            }
+            for (int v : out) if (v < 0) throw new IllegalArgumentException(file + ": negative values not supported");
+            return out;
+        }
+    }
+
+    /** Non-negative integers separated by newlines or blanks ('\r' ignored), mapped window by window. */
+    static int[] readText(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            int[] out = new int[1024];
+            int n = 0;
+            long cur = 0;          // value being parsed, kept across windows
+            boolean inNumber = false;
+            for (long start = 0; start < size; start += WINDOW) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, size - start));
+                while (buf.hasRemaining()) {
+                    byte c = buf.get();
+                    if (c >= '0' && c <= '9') {
+                        cur = cur * 10 + (c - '0');
+                        if (cur > Integer.MAX_VALUE) throw new IllegalArgumentException(file + ": value out of int range after value " + n);
+                        inNumber = true;
+                    } else if (c == '\n' || c == ' ' || c == '\t') {
+                        if (inNumber) {
+                            if (n == out.length) out = Arrays.copyOf(out, out.length * 2);
+                            out[n++] = (int) cur;
+                        }
+                        cur = 0; inNumber = false;
+                    } else if (c != '\r') {
+                        throw new IllegalArgumentException(file + ": unexpected character '" + (char) c + "' after value " + n);
+                    }
+                }
+            }
+            if (inNumber) {
+                if (n == out.length) out = Arrays.copyOf(out, out.length + 1);
+                out[n++] = (int) cur;
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+
+    /**
+     * Output layout (little-endian int32): magic "BPK1", mode id, n, k, word count, then the words.
+     * The mode id is fixed per mode (see {@link #modeId}), not the enum ordinal.
+     */
+    static void write(Path out, CompressionMode mode, BitPacker packer) throws IOException {
+        int[] words = packer.compressed();
+        ByteBuffer buf = ByteBuffer.allocate(20 + words.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(modeId(mode)).putInt(packer.size()).putInt(packer.bitsPerValue()).putInt(words.length);
+        buf.asIntBuffer().put(words);
+        buf.rewind();
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+
+    /** Stable on-disk id of each mode; never renumber, only add. */
+    static int modeId(CompressionMode mode) {
+        return switch (mode) {
+            case NO_CROSSING -> 1;
+            case CROSSING -> 2;
+            case OVERFLOW_NO_CROSSING -> 3;
+            case OVERFLOW_CROSSING -> 4;
+            case CROSSING_64 -> 5;
+        };
+    }
+
+    static CompressionMode modeOf(int id) {
+        for (CompressionMode m : CompressionMode.values()) if (modeId(m) == id) return m;
+        throw new IllegalArgumentException("unknown mode id " + id);
+    }
+
+    /** Reads a file produced by {@link #write}. */
+    public static Packed readPacked(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.remaining() < 20) throw new IllegalArgumentException(file + ": truncated header");
+        if (buf.getInt() != MAGIC) throw new IllegalArgumentException(file + ": not a .bp file");
+        CompressionMode mode = modeOf(buf.getInt());
+        int n = buf.getInt(), k = buf.getInt(), count = buf.getInt();
+        if (n < 0 || k < 1 || k > 32) throw new IllegalArgumentException(file + ": bad header n=" + n + ", k=" + k);
+        if (count < 0 || buf.remaining() != count * 4L) throw new IllegalArgumentException(file + ": word count mismatch");
+        int[] words = new int[count];
+        buf.asIntBuffer().get(words);
+        return new Packed(mode, n, k, words);
+    }
+
+    /**
+     * True when n and k are enough to decode the words. CROSSING_64 splits its
+     * 64-bit words low half first, which gives exactly the CROSSING layout.
+     * The overflow layouts need parameters the header does not store.
+     */
+    public static boolean isSelfDescribing(CompressionMode mode) {
+        return mode == CompressionMode.CROSSING || mode == CompressionMode.CROSSING_64;
+    }
+
+    /** Decompresses a {@code .bp} file; only the self-describing modes are supported. */
+    public static int[] decode(Packed p) {
+        if (!isSelfDescribing(p.mode())) {
+            throw new IllegalArgumentException(p.mode() + " files are not self-describing");
+        }
+        int k = p.k();
+        if ((long) p.n() * k > p.words().length * 32L) throw new IllegalArgumentException("too few words for n=" + p.n());
+        int[] out = new int[p.n()];
+        for (int i = 0; i < out.length; i++) out[i] = BitUtils.readBits(p.words(), 0, (long) i * k, k);
+        return out;
+    }
+}
@@ -0,0 +1,13 @@
+package com.acme.bitpack;
+
+/** Équivalent de {@link BitPacker} pour des valeurs {@code long} (k jusqu'à 64). */
+public interface LongBitPacker {
+    int size();
+    int bitsPerValue();
+    long[] compressed();
+    long compressedBitLength();
+    boolean crossesBoundaries();
+    void compress(long[] data);
+    long get(int index);
+    void decompress(long[] out);
+}
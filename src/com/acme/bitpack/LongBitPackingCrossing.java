@@ -0,0 +1,48 @@
+package com.acme.bitpack;
+
+import static com.acme.bitpack.BitUtils.*;
+
+/**
+ * Bit packing de valeurs {@code long} dans des mots de 64 bits, avec chevauchement.
+ * Les valeurs sont traitées comme non signées : une valeur négative demande k = 64.
+ */
+public final class LongBitPackingCrossing implements LongBitPacker {
+    private int n;
+    private int k;
+    private long[] data;
+
+    public LongBitPackingCrossing(int n, int k) {
+        this.n = n;
+        this.k = k;
+    }
+
+    @Override public int size() { return n; }
+    @Override public int bitsPerValue() { return k; }
+    @Override public long[] compressed() { return data == null ? null : data.clone(); }
+    @Override public long compressedBitLength() { return (long) (data == null ? 0 : data.length) * 64L; }
+    @Override public boolean crossesBoundaries() { return true; }
+
+    @Override public void compress(long[] input) {
+        if (input == null) throw new IllegalArgumentException("input is null");
+        n = input.length;
+        long bits = 0;
+        for (long v : input) bits |= v; // le OU donne le bit de poids fort le plus haut
+        k = bitsRequiredUnsigned(bits);
+        data = new long[(int) (((long) n * k + 63) >>> 6)];
+        long p = 0;
+        for (long v : input) {
+            writeBits64(data, p, v, k);
+            p += k;
+        }
+    }
+
+    @Override public void decompress(long[] out) {
+        if (out == null || out.length != n) throw new IllegalArgumentException("out length must be " + n);
+        for (int i = 0; i < n; i++) out[i] = get(i);
+    }
+
+    @Override public long get(int index) {
+        if (index < 0 || index >= n) throw new IndexOutOfBoundsException();
+        return readBits64(data, (long) index * k, k);
+    }
+}
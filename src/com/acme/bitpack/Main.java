@@ -16,17 +16,29 @@ public final class Main {
      * Main method - executes compression benchmarks based on command line arguments
      * 
      * Usage: java Main <mode> <n> <valueBits> <seed>
+     *    or: java Main LONG_CROSSING <n> <valueBits> <seed>
+     *    or: java Main BATCH <arrays> <maxLen> <valueBits> <seed>
+     *    or: java Main files <INT32|TEXT> <outDir> <file>...
      */
 
-    public static void main(String[] args) {
-        if (args.length < 4) {
-            System.err.println("Usage: Main <mode> <n> <valueBits> <seed>\n"
-                    + "  mode: CROSSING | NO_CROSSING | OVERFLOW_CROSSING | OVERFLOW_NO_CROSSING\n"
-                    + "  n: number of integers\n"
-                    + "  valueBits: each value is uniform in [0, 2^valueBits]\n"
-                    + "  seed: RNG seed\n");
-            System.exit(2);
+    public static void main(String[] args) throws Exception {
+        // FILE MODE - compress real data files instead of random data
+        if (args.length > 0 && args[0].equalsIgnoreCase("files")) {
+            FileBench.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
         }
+        // LONG MODE - 64-bit values through LongBitPacker
+        if (args.length >= 4 && args[0].equalsIgnoreCase("long_crossing")) {
+            runLong(parseInt(args[1]), parseInt(args[2]), Long.parseLong(args[3]));
+            return;
+        }
+        // BATCH MODE - many small arrays in one shared arena vs one packer per array
+        if (args.length > 0 && args[0].equalsIgnoreCase("batch")) {
+            if (args.length < 5) usage();
+            runBatch(parseInt(args[1]), parseInt(args[2]), parseInt(args[3]), Long.parseLong(args[4]));
+            return;
+        }
+        if (args.length < 4) usage();
         CompressionMode mode = CompressionMode.valueOf(args[0].toUpperCase(java.util.Locale.ROOT));
         int n = parseInt(args[1]);
         int valueBits = parseInt(args[2]);
@@ -63,6 +75,75 @@ public final class Main {
                 com.acme.bitpack.Benchmarks.breakEvenBandwidthBitsPerSec(n, res) / 1e6);
     }
 
+    /**
+     * Benchmarks {@link LongBitPackingCrossing} on random 64-bit values.
+     * The raw size is 64 bits per value, so the 32-bit network model is not printed.
+     */
+    private static void runLong(int n, int valueBits, long seed) {
+        if (valueBits < 0 || valueBits > 64) usage();
+        long[] data = new long[n];
+        Random rnd = new Random(seed);
+        // Keep the valueBits low bits of a random long (all 64 bits when valueBits == 64)
+        long mask = valueBits == 64 ? -1L : (1L << valueBits) - 1;
+        for (int i = 0; i < n; i++) {
+            data[i] = rnd.nextLong() & mask;
+        }
+        LongBitPacker packer = new LongBitPackingCrossing(n, valueBits);
+        var res = Benchmarks.run(packer, data, Math.min(1_000_000, Math.max(10, n)), seed);
+        System.out.printf(Locale.ROOT, "Mode=LONG_CROSSING, n=%d, k=%d, crossing=%s%n",
+                packer.size(), packer.bitsPerValue(), packer.crossesBoundaries());
+        System.out.printf(Locale.ROOT, "Compressed size: %.2f KiB (bit-length=%d, ratio=%.2fx vs 64-bit)%n",
+                packer.compressed().length * 8.0 / 1024.0, packer.compressedBitLength(),
+                64.0 * n / packer.compressedBitLength());
+        System.out.printf(Locale.ROOT, "Times: compress=%.3f ms, get()=%.3f ms, decompress=%.3f ms%n",
+                res.compressNs() / 1e6, res.getNs() / 1e6, res.decompressNs() / 1e6);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: Main <mode> <n> <valueBits> <seed>\n"
+                + "  mode: CROSSING | CROSSING_64 | NO_CROSSING | OVERFLOW_CROSSING | OVERFLOW_NO_CROSSING\n"
+                + "        | LONG_CROSSING (64-bit values)\n"
+                + "  n: number of integers\n"
+                + "  valueBits: each value is uniform in [0, 2^valueBits] (0..64 for LONG_CROSSING)\n"
+                + "  seed: RNG seed\n"
+                + "   or: Main BATCH <arrays> <maxLen> <valueBits> <seed>\n"
+                + "   or: Main files <INT32|TEXT> <outDir> <file>...\n");
+        System.exit(2);
+    }
+
+    /**
+     * Packs {@code arrays} random arrays of 0..maxLen values into one {@link BitPackingBatch}
+     * and compares it with one CROSSING packer per array.
+     */
+    private static void runBatch(int arrays, int maxLen, int valueBits, long seed) {
+        // GENERATE RANDOM TEST DATA
+        int max = valueBits >= 31 ? Integer.MAX_VALUE : (1 << valueBits) - 1;
+        Random rnd = new Random(seed);
+        int[][] data = new int[arrays][];
+        long n = 0;
+        for (int id = 0; id < arrays; id++) {
+            data[id] = new int[rnd.nextInt(maxLen + 1)];
+            for (int i = 0; i < data[id].length; i++) data[id][i] = rnd.nextInt(max + 1);
+            n += data[id].length;
+        }
+        // RUN BENCHMARKS - both verify the round trip
+        int probes = (int) Math.min(1_000_000, Math.max(10, n));
+        BitPackingBatch batch = new BitPackingBatch();
+        var arena = Benchmarks.run(batch, data, probes, seed);
+        var perArray = Benchmarks.runPerArray(CompressionMode.CROSSING, data, probes, seed);
+        // PRINT RESULTS
+        System.out.printf(Locale.ROOT, "Mode=BATCH, arrays=%d, values=%d, maxLen=%d%n", arrays, n, maxLen);
+        long arenaBits = batch.compressed().length * 32L;
+        System.out.printf(Locale.ROOT, "Arena: %.2f KiB packed + %.2f KiB directory, in 1 int[]%n",
+                arenaBits / 8.0 / 1024.0, (arena.compressedBits() - arenaBits) / 8.0 / 1024.0);
+        System.out.printf(Locale.ROOT, "Per-array CROSSING packers: %.2f KiB packed, in %d packer objects + %d int[]%n",
+                perArray.compressedBits() / 8.0 / 1024.0, arrays, arrays);
+        System.out.printf(Locale.ROOT, "Arena times: compress=%.3f ms, get()=%.3f ms, decompress=%.3f ms%n",
+                arena.compressNs() / 1e6, arena.getNs() / 1e6, arena.decompressNs() / 1e6);
+        System.out.printf(Locale.ROOT, "Per-array times: compress=%.3f ms, get()=%.3f ms, decompress=%.3f ms%n",
+                perArray.compressNs() / 1e6, perArray.getNs() / 1e6, perArray.decompressNs() / 1e6);
+    }
+
     private static int parseInt(String s) {
         s = s.replace("_", "");
         return Integer.parseInt(s);